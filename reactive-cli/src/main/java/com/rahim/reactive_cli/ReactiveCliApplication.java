@@ -104,6 +104,8 @@ public class ReactiveCliApplication {
     private void getMostActiveUsers(JsonPlaceholderService service) {
         System.out.println("\n=== Most Active Users (by posts) ===");
 
+        // Inner calls queue on the service's AdaptiveConcurrencyLimiter, so the
+        // number of requests actually in flight follows the upstream's latency
         service.getAllUsers()
                 .flatMap(user
                         -> service.getPostsByUser(user.id())
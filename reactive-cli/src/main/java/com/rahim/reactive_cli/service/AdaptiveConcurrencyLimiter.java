@@ -0,0 +1,213 @@
+package com.rahim.reactive_cli.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Gradient-style adaptive concurrency limit for calls against the upstream API.
+ *
+ * Every call wrapped with {@link #limit(Mono)} takes a permit before it subscribes and
+ * gives it back as soon as it signals its result. Calls over the limit wait in FIFO order
+ * instead of hitting the API.
+ *
+ * The limit follows the ratio between a long-term average round-trip time and the latest
+ * sample: it grows while latency stays flat and shrinks as soon as the upstream starts
+ * queueing. Overload errors (429, 5xx, I/O failures) cut the limit multiplicatively.
+ *
+ * Wrap one request/response exchange per call, not a long-lived stream. A permit held by
+ * a stream whose consumer makes further limited calls would make those calls wait on it.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int LONG_RTT_WINDOW = 100;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Predicate<Throwable> isOverload;
+    private final LongSupplier nanoClock;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private double limit;
+    private int inFlight;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter() {
+        // 256 matches the default flatMap concurrency this limiter replaces
+        this(10, 1, 256, AdaptiveConcurrencyLimiter::isUpstreamOverload);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Predicate<Throwable> isOverload) {
+        this(initialLimit, minLimit, maxLimit, isOverload, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               Predicate<Throwable> isOverload, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                "limits must satisfy 1 <= min <= initial <= max, got min=%d initial=%d max=%d"
+                    .formatted(minLimit, initialLimit, maxLimit));
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.isOverload = isOverload;
+        this.nanoClock = nanoClock;
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        // The permit goes back before the result is passed on, so downstream work is
+        // neither counted in the round-trip time nor able to hold the permit
+        return acquire().flatMap(permit -> call
+            .doOnSuccess(value -> release(permit, false, true))
+            .doOnError(error -> release(permit, isOverload.test(error), true))
+            .doOnCancel(() -> release(permit, false, false)));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.<Permit>create(sink -> {
+                Waiter waiter = new Waiter(sink);
+                Permit permit = null;
+                synchronized (this) {
+                    if (waiters.isEmpty() && inFlight < getLimit()) {
+                        inFlight++;
+                        waiter.state.set(Waiter.GRANTED);
+                        permit = new Permit(nanoClock.getAsLong());
+                    } else {
+                        waiters.addLast(waiter);
+                    }
+                }
+                sink.onCancel(() -> cancel(waiter));
+                if (permit != null) {
+                    sink.success(permit);
+                }
+            })
+            // A permit granted to a waiter that cancelled in the meantime is discarded by the sink
+            .doOnDiscard(Permit.class, permit -> release(permit, false, false));
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            synchronized (this) {
+                waiters.remove(waiter);
+            }
+        }
+    }
+
+    private void release(Permit permit, boolean overloaded, boolean sample) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            if (sample) {
+                if (overloaded) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                } else {
+                    onSample(Math.max(1, nanoClock.getAsLong() - permit.startNanos));
+                }
+            }
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void onSample(long rttNanos) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_RTT_WINDOW;
+        }
+        // Let the baseline recover after a sustained latency drop instead of pinning the limit low
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        // Only add headroom when the limit is actually being exercised
+        double queueSize = inFlight >= limit / 2 ? Math.sqrt(limit) : 0;
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    private void drain() {
+        // A granted call that finishes synchronously releases, and so drains, from inside
+        // sink.success(); only the first caller loops, re-entrant calls just flag more work
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (true) {
+                Waiter next;
+                Permit permit;
+                synchronized (this) {
+                    if (waiters.isEmpty() || inFlight >= getLimit()) {
+                        break;
+                    }
+                    next = waiters.pollFirst();
+                    if (!next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                        continue;
+                    }
+                    inFlight++;
+                    permit = new Permit(nanoClock.getAsLong());
+                }
+                next.sink.success(permit);
+            }
+            missed = drainWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private static boolean isUpstreamOverload(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error.getCause() instanceof IOException;
+    }
+
+    private static final class Permit {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
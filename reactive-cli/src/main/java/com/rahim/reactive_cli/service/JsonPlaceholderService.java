@@ -15,40 +15,48 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class JsonPlaceholderService {
 
     private final WebClient webClient;
+    private final AdaptiveConcurrencyLimiter limiter;
 
-    public JsonPlaceholderService() {
+    public JsonPlaceholderService(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
         this.webClient = WebClient.builder()
             .baseUrl("https://jsonplaceholder.typicode.com")
             .build();
     }
 
     public Flux<User> getAllUsers() {
-        return webClient.get()
+        return limiter.limit(webClient.get()
             .uri("/users")
             .retrieve()
             .bodyToFlux(User.class)
+            .collectList())
+            .flatMapIterable(list -> list)
             .doOnNext(user -> System.out.println("fetched users" + user.name()));
     }
 
     public Mono<User> getUserById(Long id) {
-        return webClient.get()
+        return limiter.limit(webClient.get()
             .uri("/users/{id}", id)
             .retrieve()
-            .bodyToMono(User.class);
+            .bodyToMono(User.class));
     }
 
     public Flux<Post> getPostsByUser(Long userId) {
-        return webClient.get()
+        return limiter.limit(webClient.get()
             .uri("/posts?userId={userId}", userId)
             .retrieve()
-            .bodyToFlux(Post.class);
+            .bodyToFlux(Post.class)
+            .collectList())
+            .flatMapIterable(list -> list);
     }
 
     public Flux<Comment> getCommentsByPost(Long postId) {
-        return webClient.get()
+        return limiter.limit(webClient.get()
             .uri("/comments?postId={postId}", postId)
             .retrieve()
-            .bodyToFlux(Comment.class);
+            .bodyToFlux(Comment.class)
+            .collectList())
+            .flatMapIterable(list -> list);
     }
 
     public Mono<UserWithPosts> getUserWithPosts(Long userId) {
@@ -0,0 +1,194 @@
+package com.rahim.reactive_cli.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.util.RaceTestUtils;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+		return new AdaptiveConcurrencyLimiter(initial, min, max, error -> true, clock::get);
+	}
+
+	// Starts `concurrency` calls together, lets `latencyNanos` pass, then completes them all
+	private void round(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyNanos) {
+		List<Sinks.One<Integer>> responses = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			Sinks.One<Integer> response = Sinks.one();
+			responses.add(response);
+			limiter.limit(response.asMono()).subscribe();
+		}
+		clock.addAndGet(latencyNanos);
+		responses.forEach(response -> response.tryEmitValue(1));
+	}
+
+	@Test
+	void capsInFlightCallsAtTheLimit() {
+		var limiter = new AdaptiveConcurrencyLimiter(3, 1, 3, error -> true);
+		var maxInFlight = new AtomicInteger();
+
+		var calls = Flux.range(1, 20)
+				.flatMap(i -> limiter.limit(Mono.defer(() -> {
+					maxInFlight.accumulateAndGet(limiter.getInFlight(), Math::max);
+					return Mono.delay(Duration.ofMillis(10)).thenReturn(i);
+				})));
+
+		StepVerifier.create(calls)
+				.expectNextCount(20)
+				.verifyComplete();
+
+		assertThat(maxInFlight.get()).isEqualTo(3);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void growsWhileLatencyStaysFlatUpToMaxLimit() {
+		var limiter = limiter(10, 1, 40);
+
+		round(limiter, limiter.getLimit(), FAST);
+		assertThat(limiter.getLimit()).isGreaterThan(10);
+
+		for (int i = 0; i < 50; i++) {
+			round(limiter, limiter.getLimit(), FAST);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(40);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void doesNotGrowWhenUnderused() {
+		var limiter = limiter(10, 1, 40);
+
+		for (int i = 0; i < 20; i++) {
+			round(limiter, 1, FAST);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void shrinksWhenLatencyRisesEvenAtLowUtilisation() {
+		var limiter = limiter(20, 2, 40);
+		round(limiter, 1, FAST);
+
+		round(limiter, 1, SLOW);
+		assertThat(limiter.getLimit()).isLessThan(20);
+
+		for (int i = 0; i < 60; i++) {
+			round(limiter, 1, SLOW);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void shrinksLimitOnOverloadErrors() {
+		var limiter = limiter(10, 1, 10);
+
+		var calls = Flux.range(1, 10)
+				.concatMap(i -> limiter.limit(Mono.error(new IllegalStateException("throttled")))
+						.onErrorResume(error -> Mono.empty()));
+
+		StepVerifier.create(calls).verifyComplete();
+
+		assertThat(limiter.getLimit()).isLessThan(10);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void onlyUpstreamOverloadErrorsBackOffByDefault() {
+		var limiter = new AdaptiveConcurrencyLimiter();
+
+		StepVerifier.create(limiter.limit(Mono.error(new DecodingException("bad json"))))
+				.verifyError(DecodingException.class);
+		assertThat(limiter.getLimit()).isEqualTo(10);
+
+		var unavailable = new WebClientResponseException(503, "Service Unavailable", null, null, null);
+		StepVerifier.create(limiter.limit(Mono.error(unavailable)))
+				.verifyError(WebClientResponseException.class);
+		assertThat(limiter.getLimit()).isEqualTo(9);
+	}
+
+	@Test
+	void cancellingAQueuedCallLeavesItsPlaceToTheNext() {
+		var limiter = limiter(1, 1, 1);
+		Sinks.One<Integer> first = Sinks.one();
+		var queuedRan = new AtomicBoolean();
+
+		limiter.limit(first.asMono()).subscribe();
+		Disposable queued = limiter.limit(Mono.fromRunnable(() -> queuedRan.set(true))).subscribe();
+		queued.dispose();
+		first.tryEmitValue(1);
+
+		assertThat(queuedRan).isFalse();
+		assertThat(limiter.getInFlight()).isZero();
+		StepVerifier.create(limiter.limit(Mono.just(3)))
+				.expectNext(3)
+				.verifyComplete();
+	}
+
+	@Test
+	void cancellingAnInFlightCallReturnsItsPermit() {
+		var limiter = limiter(1, 1, 1);
+
+		Disposable call = limiter.limit(Mono.never()).subscribe();
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+
+		call.dispose();
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void drainsADeepQueueOfSynchronousCallsWithoutRecursing() {
+		var limiter = limiter(1, 1, 1);
+		Sinks.One<Integer> holder = Sinks.one();
+		var completed = new AtomicInteger();
+
+		limiter.limit(holder.asMono()).subscribe();
+		for (int i = 0; i < 10_000; i++) {
+			limiter.limit(Mono.just(i)).subscribe(value -> completed.incrementAndGet());
+		}
+		holder.tryEmitValue(1);
+
+		assertThat(completed.get()).isEqualTo(10_000);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void cancellingWhileBeingGrantedReturnsThePermit() {
+		var limiter = limiter(1, 1, 1);
+
+		for (int i = 0; i < 1_000; i++) {
+			Sinks.One<Integer> holder = Sinks.one();
+			limiter.limit(holder.asMono()).subscribe();
+			Disposable waiter = limiter.limit(Mono.never()).subscribe();
+
+			RaceTestUtils.race(() -> holder.tryEmitValue(1), waiter::dispose);
+			waiter.dispose();
+
+			assertThat(limiter.getInFlight()).isZero();
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Measures how HotBroadcaster delivery throughput and latency change as the subscriber count grows.
+ *
+ * The source emits ticks at a fixed rate, like a market feed. While the broadcaster keeps
+ * up, every subscriber gets every tick and deliveries/s grows with the subscriber count;
+ * once it can't, drops (or disconnects) and latency show where it saturates.
+ *
+ * The source runs on its own thread, and latency is measured from when a tick was scheduled,
+ * not when it actually fired, so a source falling behind shows up as latency rather than
+ * hiding it. The source thread also pushes each tick into every subscriber's buffer, so
+ * "source/s" reports the rate it actually achieved next to the one requested.
+ *
+ * Usage: mvn exec:java -Dexec.mainClass="BroadcastBenchmark"
+ *          -Dexec.args="[policy] [ticksPerSecond] [seconds] [bufferSize]"
+ */
+public class BroadcastBenchmark {
+
+    record Tick(long seq, long scheduledNanos) {}
+
+    private static final int[] SUBSCRIBER_COUNTS = {1, 10, 100, 1_000, 5_000};
+
+    public static void main(String[] args) throws InterruptedException {
+        var policy = args.length > 0
+            ? HotBroadcaster.SlowConsumerPolicy.valueOf(args[0])
+            : HotBroadcaster.SlowConsumerPolicy.DROP_OLDEST;
+        int ticksPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int bufferSize = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        System.out.printf("=== BROADCAST BENCHMARK (%s, %d ticks/s for %ds, buffer %d) ===%n",
+            policy, ticksPerSecond, seconds, bufferSize);
+
+        // Warm up the JIT so the first row isn't dominated by compilation
+        run(100, ticksPerSecond, 1, bufferSize, policy);
+
+        System.out.printf("%12s %10s %10s %10s %13s %14s %10s %10s %10s%n", "subscribers", "source/s",
+            "recv/sub", "drop/sub", "disconnected", "deliveries/s", "p50 us", "p99 us", "max us");
+        for (int subscribers : SUBSCRIBER_COUNTS) {
+            Result result = run(subscribers, ticksPerSecond, seconds, bufferSize, policy);
+            System.out.printf("%12d %10.0f %10.0f %10.0f %13d %14.0f %10.1f %10.1f %10.1f%n",
+                subscribers,
+                result.sourceTicks() / (result.sourceNanos() / 1e9),
+                (double) result.delivered() / subscribers,
+                (double) result.dropped() / subscribers,
+                result.disconnected(),
+                result.delivered() / (result.elapsedNanos() / 1e9),
+                result.latency().percentile(0.50) / 1e3,
+                result.latency().percentile(0.99) / 1e3,
+                result.latency().max() / 1e3);
+        }
+
+        Schedulers.shutdownNow();
+    }
+
+    record Result(long sourceTicks, long sourceNanos, long delivered, long dropped, long disconnected,
+                  long elapsedNanos, LatencyHistogram latency) {}
+
+    private static Result run(int subscribers, int ticksPerSecond, int seconds, int bufferSize,
+                              HotBroadcaster.SlowConsumerPolicy policy) throws InterruptedException {
+        var ticksScheduler = Schedulers.newSingle("ticks");
+        var connectedAt = new AtomicLong();
+        var sourceDoneAt = new AtomicLong();
+        var sourceTicks = new LongAdder();
+        Flux<Tick> source = pacedTicks(ticksPerSecond, seconds, ticksScheduler)
+            .doOnSubscribe(s -> connectedAt.set(System.nanoTime()))
+            .doOnNext(tick -> sourceTicks.increment())
+            // Stamped before the signal travels downstream, so it's set by the time the latch opens;
+            // cancel covers every subscriber disconnecting
+            .doOnComplete(() -> sourceDoneAt.set(System.nanoTime()))
+            .doOnCancel(() -> sourceDoneAt.set(System.nanoTime()));
+        var broadcaster = new HotBroadcaster<>(source, bufferSize, policy,
+            // Ref-counted with minSubscribers = subscribers, so nobody misses the first tick
+            HotBroadcaster.Lifecycle.REF_COUNT, subscribers, Duration.ZERO,
+            Schedulers.parallel());
+
+        var done = new CountDownLatch(subscribers);
+        var delivered = new LongAdder();
+        var disconnected = new LongAdder();
+        var latency = new LatencyHistogram();
+
+        for (int i = 0; i < subscribers; i++) {
+            broadcaster.stream().subscribe(
+                tick -> {
+                    latency.record(System.nanoTime() - tick.scheduledNanos());
+                    delivered.increment();
+                },
+                error -> {
+                    disconnected.increment();  // DISCONNECT policy ends slow subscribers with an error
+                    done.countDown();
+                },
+                done::countDown
+            );
+        }
+        if (!done.await(seconds + 120L, TimeUnit.SECONDS)) {
+            System.err.println("Timed out waiting for " + done.getCount() + " subscribers");
+        }
+        long elapsed = System.nanoTime() - connectedAt.get();
+        ticksScheduler.dispose();
+
+        return new Result(sourceTicks.sum(), sourceDoneAt.get() - connectedAt.get(), delivered.sum(),
+            broadcaster.droppedCount(), disconnected.sum(), elapsed, latency);
+    }
+
+    // Emits ticksPerSecond ticks in batches every 1ms (or slower, for low rates), since that's
+    // the finest timer resolution; each tick carries the time its batch was due
+    private static Flux<Tick> pacedTicks(int ticksPerSecond, int seconds, Scheduler scheduler) {
+        long periodMillis = Math.max(1, 1000 / ticksPerSecond);
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        long totalTicks = (long) ticksPerSecond * seconds;
+        long periods = (seconds * 1000L + periodMillis - 1) / periodMillis;
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            var emitted = new AtomicLong();
+            return Flux.interval(Duration.ofMillis(periodMillis), scheduler)
+                .take(periods)
+                .flatMapIterable(period -> {
+                    // Ticks due by the end of this period, so fractional rates carry over instead of rounding away
+                    long due = Math.min(totalTicks, (period + 1) * periodMillis * ticksPerSecond / 1000);
+                    long scheduledAt = start + (period + 1) * periodNanos;
+                    return LongStream.range(emitted.getAndSet(due), due)
+                        .mapToObj(seq -> new Tick(seq, scheduledAt))
+                        .toList();
+                });
+        });
+    }
+
+    // Power-of-two buckets: cheap enough to record from every subscriber, precise to within 2x
+    static class LatencyHistogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+        void record(long nanos) {
+            buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+        }
+
+        long percentile(double p) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            long target = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target && seen > 0) {
+                    return 1L << (i + 1);
+                }
+            }
+            return 0;
+        }
+
+        long max() {
+            for (int i = buckets.length() - 1; i >= 0; i--) {
+                if (buckets.get(i) > 0) {
+                    return 1L << (i + 1);
+                }
+            }
+            return 0;
+        }
+    }
+}
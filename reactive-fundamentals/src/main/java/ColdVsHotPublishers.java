@@ -1,7 +1,10 @@
 import java.time.Duration;
 
+import reactor.core.Disposable;
 import reactor.core.publisher.ConnectableFlux;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public class ColdVsHotPublishers {
     public static void main(String[] args) throws InterruptedException {
@@ -41,5 +44,33 @@ public class ColdVsHotPublishers {
         hotFlux.subscribe(val -> System.out.println("  Sub2: " + val));
         
         Thread.sleep(3000);
+
+        // === HOT BROADCAST WITH SLOW CONSUMERS ===
+        // publish() runs at the pace of its slowest subscriber; HotBroadcaster gives each
+        // subscriber its own bounded buffer and connects/disconnects by ref count
+
+        System.out.println("\n=== HOT BROADCAST (latest-only) ===");
+        HotBroadcaster<Long> broadcaster = new HotBroadcaster<>(
+            Flux.interval(Duration.ofMillis(100)).take(20),
+            1,  // latest-only keeps a single value anyway
+            HotBroadcaster.SlowConsumerPolicy.LATEST_ONLY);
+
+        System.out.println("Fast subscriber connects (starts the source):");
+        Disposable fast = broadcaster.stream()
+            .subscribe(val -> System.out.println("  Fast: " + val));
+
+        // Slow by demand, not by blocking: it asks for the next value only after a 500ms
+        // timer, so the shared delivery threads stay free for everyone else
+        System.out.println("Slow subscriber connects (skips to the latest value):");
+        Disposable slow = broadcaster.stream()
+            .concatMap(val -> Mono.delay(Duration.ofMillis(500)).thenReturn(val), 0)
+            .subscribe(val -> System.out.println("  Slow: " + val));
+
+        Thread.sleep(2500);
+        fast.dispose();
+        slow.dispose();  // Last subscriber leaves, source is cancelled
+        System.out.println("Dropped for slow consumers: " + broadcaster.droppedCount());
+
+        Schedulers.shutdownNow();
     }
 }
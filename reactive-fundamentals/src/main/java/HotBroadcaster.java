@@ -0,0 +1,90 @@
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Shares one hot source with many subscribers without letting a slow one hold the others back.
+ *
+ * A plain publish() only moves as fast as its slowest subscriber. Here every subscriber
+ * requests unbounded from the shared stream, keeps its own bounded buffer, and is drained
+ * on the delivery scheduler, so an overflowing buffer only affects that one subscriber.
+ *
+ * That isolation covers subscribers that are slow because they request slowly. Consumers
+ * must not block in onNext: they run on the shared delivery scheduler, and a blocked worker
+ * stalls every other subscriber assigned to it. Do slow work asynchronously, for example
+ * concatMap(v -> Mono.delay(...).thenReturn(v), 0) or a Mono on boundedElastic.
+ */
+public class HotBroadcaster<T> {
+
+    // What happens to a subscriber whose buffer is full
+    public enum SlowConsumerPolicy {
+        DROP_OLDEST,  // evict the oldest buffered value to make room
+        LATEST_ONLY,  // keep only the most recent value (bufferSize is ignored)
+        DISCONNECT    // terminate that subscriber with an overflow error
+    }
+
+    // When the shared upstream subscription starts and stops
+    public enum Lifecycle {
+        AUTO_CONNECT, // connect once minSubscribers arrive, keep running after they leave
+        REF_COUNT     // connect once minSubscribers arrive, cancel when the last one leaves
+    }
+
+    private final Flux<T> shared;
+    private final int bufferSize;
+    private final SlowConsumerPolicy policy;
+    private final Scheduler deliveryScheduler;
+    private final LongAdder dropped = new LongAdder();
+
+    public HotBroadcaster(Flux<T> source, int bufferSize, SlowConsumerPolicy policy) {
+        this(source, bufferSize, policy, Lifecycle.REF_COUNT, 1, Duration.ZERO, Schedulers.parallel());
+    }
+
+    public HotBroadcaster(Flux<T> source, int bufferSize, SlowConsumerPolicy policy,
+                          Lifecycle lifecycle, int minSubscribers, Duration gracePeriod,
+                          Scheduler deliveryScheduler) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive, got " + bufferSize);
+        }
+        ConnectableFlux<T> published = source.publish();
+        if (lifecycle == Lifecycle.AUTO_CONNECT) {
+            this.shared = published.autoConnect(minSubscribers);
+        } else if (gracePeriod.isZero()) {
+            this.shared = published.refCount(minSubscribers);
+        } else {
+            // Keeps the source alive briefly so a quick resubscribe doesn't restart it
+            this.shared = published.refCount(minSubscribers, gracePeriod);
+        }
+        this.bufferSize = bufferSize;
+        this.policy = policy;
+        this.deliveryScheduler = deliveryScheduler;
+    }
+
+    /**
+     * A per-subscriber view of the shared stream with its own buffer and policy.
+     * LATEST_ONLY always buffers a single value, whatever bufferSize says.
+     */
+    public Flux<T> stream() {
+        Flux<T> buffered = switch (policy) {
+            case DROP_OLDEST -> shared.onBackpressureBuffer(bufferSize, value -> dropped.increment(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+            // A one-slot drop-oldest buffer is latest-only, and reports each overwrite
+            case LATEST_ONLY -> shared.onBackpressureBuffer(1, value -> dropped.increment(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+            case DISCONNECT -> shared.onBackpressureBuffer(bufferSize, value -> dropped.increment(),
+                    BufferOverflowStrategy.ERROR);
+        };
+        // prefetch 1 so the overflow buffer above is the only place values pile up
+        return buffered.publishOn(deliveryScheduler, 1);
+    }
+
+    // Values thrown away across all subscribers because their buffers were full;
+    // values still buffered when a subscriber cancels are not counted
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,178 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class HotBroadcasterTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    // Requests nothing until told to, so it is as slow as a subscriber can be
+    static class StalledSubscriber extends BaseSubscriber<Integer> {
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(Integer value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error.set(throwable);
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            done.countDown();
+        }
+
+        void drain() throws InterruptedException {
+            requestUnbounded();
+            assertTrue(done.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        }
+    }
+
+    private static HotBroadcaster<Integer> broadcaster(Flux<Integer> source, int bufferSize,
+                                                       HotBroadcaster.SlowConsumerPolicy policy) {
+        // Two subscribers before connecting, so both see the whole source. Delivering on the
+        // emitting thread lets the fast subscriber keep up with a synchronous burst, while the
+        // stalled one still only gets what it requests
+        return new HotBroadcaster<>(source, bufferSize, policy,
+            HotBroadcaster.Lifecycle.REF_COUNT, 2, Duration.ZERO, Schedulers.immediate());
+    }
+
+    @Test
+    void slowSubscriberDoesNotStallFastOne() throws InterruptedException {
+        var broadcaster = broadcaster(Flux.range(1, 50), 4, HotBroadcaster.SlowConsumerPolicy.DROP_OLDEST);
+        var slow = new StalledSubscriber();
+        broadcaster.stream().subscribe(slow);
+
+        StepVerifier.create(broadcaster.stream())
+            .expectNextCount(50)
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        // One value already handed to the delivery stage, then the newest four
+        slow.drain();
+        assertEquals(List.of(1, 47, 48, 49, 50), slow.received);
+        assertEquals(45, broadcaster.droppedCount());
+    }
+
+    @Test
+    void latestOnlyKeepsTheMostRecentValue() throws InterruptedException {
+        var broadcaster = broadcaster(Flux.range(1, 50), 1, HotBroadcaster.SlowConsumerPolicy.LATEST_ONLY);
+        var slow = new StalledSubscriber();
+        broadcaster.stream().subscribe(slow);
+
+        StepVerifier.create(broadcaster.stream())
+            .expectNextCount(50)
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        slow.drain();
+        assertEquals(List.of(1, 50), slow.received);
+        assertEquals(48, broadcaster.droppedCount());
+    }
+
+    @Test
+    void disconnectErrorsOnlyTheOverflowingSubscriber() throws InterruptedException {
+        var broadcaster = broadcaster(Flux.range(1, 50), 4, HotBroadcaster.SlowConsumerPolicy.DISCONNECT);
+        var slow = new StalledSubscriber();
+        broadcaster.stream().subscribe(slow);
+
+        StepVerifier.create(broadcaster.stream())
+            .expectNextCount(50)
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        slow.drain();
+        assertTrue(Exceptions.isOverflow(slow.error.get()));
+        assertTrue(slow.received.size() < 50);
+        assertTrue(broadcaster.droppedCount() > 0);
+    }
+
+    @Test
+    void cancellingWithBufferedValuesIsNotCountedAsDropped() {
+        var broadcaster = broadcaster(Flux.range(1, 50), 100, HotBroadcaster.SlowConsumerPolicy.DROP_OLDEST);
+        var slow = new StalledSubscriber();
+        broadcaster.stream().subscribe(slow);
+
+        StepVerifier.create(broadcaster.stream())
+            .expectNextCount(50)
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        slow.dispose();
+        assertEquals(0, broadcaster.droppedCount());
+    }
+
+    @Test
+    void refCountCancelsSourceAfterLastSubscriberLeaves() {
+        var connections = new AtomicInteger();
+        var cancelled = new AtomicBoolean();
+        Flux<Integer> source = Flux.<Integer>never()
+            .doOnSubscribe(s -> connections.incrementAndGet())
+            .doOnCancel(() -> cancelled.set(true));
+        var broadcaster = new HotBroadcaster<>(source, 4, HotBroadcaster.SlowConsumerPolicy.DROP_OLDEST);
+
+        Disposable first = broadcaster.stream().subscribe();
+        Disposable second = broadcaster.stream().subscribe();
+        assertEquals(1, connections.get());
+
+        first.dispose();
+        assertFalse(cancelled.get());
+        second.dispose();
+        assertTrue(cancelled.get());
+
+        broadcaster.stream().subscribe().dispose();
+        assertEquals(2, connections.get());
+    }
+
+    @Test
+    void refCountGracePeriodDelaysCancellation() throws InterruptedException {
+        var cancelled = new CountDownLatch(1);
+        Flux<Integer> source = Flux.<Integer>never().doOnCancel(cancelled::countDown);
+        var broadcaster = new HotBroadcaster<>(source, 4, HotBroadcaster.SlowConsumerPolicy.DROP_OLDEST,
+            HotBroadcaster.Lifecycle.REF_COUNT, 1, Duration.ofMillis(200), Schedulers.parallel());
+
+        broadcaster.stream().subscribe().dispose();
+        assertEquals(1, cancelled.getCount());
+        assertTrue(cancelled.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Test
+    void autoConnectKeepsSourceRunningAfterSubscribersLeave() {
+        var cancelled = new AtomicBoolean();
+        Flux<Integer> source = Flux.<Integer>never().doOnCancel(() -> cancelled.set(true));
+        var broadcaster = new HotBroadcaster<>(source, 4, HotBroadcaster.SlowConsumerPolicy.DROP_OLDEST,
+            HotBroadcaster.Lifecycle.AUTO_CONNECT, 1, Duration.ZERO, Schedulers.parallel());
+
+        broadcaster.stream().subscribe().dispose();
+        assertFalse(cancelled.get());
+    }
+}